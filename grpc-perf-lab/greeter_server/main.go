@@ -2,11 +2,13 @@ package main
 
 import (
 	"context"
+	"crypto/tls"
 	"flag"
 	"fmt"
 	"log"
 	"net"
 	"net/http"
+	"strconv"
 	"time"
 
 	grpc_prometheus "github.com/grpc-ecosystem/go-grpc-prometheus"
@@ -14,6 +16,7 @@ import (
 	"github.com/prometheus/client_golang/prometheus/promauto"
 	"github.com/prometheus/client_golang/prometheus/promhttp"
 	"google.golang.org/grpc"
+	"google.golang.org/grpc/credentials"
 	pb "google.golang.org/grpc/examples/helloworld/helloworld"
 	"google.golang.org/grpc/reflection"
 )
@@ -21,6 +24,9 @@ import (
 var (
 	port        = flag.Int("port", 50051, "The server port")
 	metricsPort = flag.Int("metrics-port", 2112, "The metrics port")
+	tlsCert     = flag.String("tls-cert", "", "PEM certificate to serve TLS with (plaintext when empty)")
+	tlsKey      = flag.String("tls-key", "", "PEM private key matching -tls-cert")
+	tlsTickets  = flag.Bool("tls-session-tickets", true, "Allow clients to resume TLS sessions")
 
 	// application-specific metrics
 	requestsProcessed = promauto.NewCounterVec(
@@ -39,8 +45,36 @@ var (
 		},
 		[]string{"method"},
 	)
+
+	tlsHandshakes = promauto.NewCounterVec(
+		prometheus.CounterOpts{
+			Name: "grpc_server_tls_handshakes_total",
+			Help: "The total number of completed TLS handshakes",
+		},
+		[]string{"resumed"},
+	)
 )
 
+// resumptionCounter counts TLS handshakes by whether they resumed an earlier session.
+type resumptionCounter struct {
+	credentials.TransportCredentials
+}
+
+func (c resumptionCounter) ServerHandshake(conn net.Conn) (net.Conn, credentials.AuthInfo, error) {
+	conn, authInfo, err := c.TransportCredentials.ServerHandshake(conn)
+	if err != nil {
+		return conn, authInfo, err
+	}
+	if info, ok := authInfo.(credentials.TLSInfo); ok {
+		tlsHandshakes.WithLabelValues(strconv.FormatBool(info.State.DidResume)).Inc()
+	}
+	return conn, authInfo, nil
+}
+
+func (c resumptionCounter) Clone() credentials.TransportCredentials {
+	return resumptionCounter{c.TransportCredentials.Clone()}
+}
+
 type server struct {
 	pb.UnimplementedGreeterServer
 }
@@ -62,10 +96,30 @@ func main() {
 
 	grpc_prometheus.EnableHandlingTimeHistogram()
 
-	s := grpc.NewServer(
+	opts := []grpc.ServerOption{
 		grpc.UnaryInterceptor(grpc_prometheus.UnaryServerInterceptor),
 		grpc.StreamInterceptor(grpc_prometheus.StreamServerInterceptor),
-	)
+	}
+
+	if *tlsCert != "" || *tlsKey != "" {
+		cert, err := tls.LoadX509KeyPair(*tlsCert, *tlsKey)
+		if err != nil {
+			log.Fatalf("failed to load TLS credentials: %v", err)
+		}
+		creds := credentials.NewTLS(&tls.Config{
+			Certificates: []tls.Certificate{cert},
+			// without tickets every handshake is a full one, TLS 1.3 has no other resumption
+			SessionTicketsDisabled: !*tlsTickets,
+		})
+		opts = append(opts, grpc.Creds(resumptionCounter{creds}))
+
+		// export both series from the start so a run without resumption reads 0
+		tlsHandshakes.WithLabelValues("true")
+		tlsHandshakes.WithLabelValues("false")
+		log.Printf("TLS enabled with certificate %s (session tickets: %t)", *tlsCert, *tlsTickets)
+	}
+
+	s := grpc.NewServer(opts...)
 
 	pb.RegisterGreeterServer(s, &server{})
 	reflection.Register(s)
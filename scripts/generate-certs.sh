@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+# Generates a throwaway CA and a server certificate for the TLS benchmarks.
+# The CA certificate is what the load generators trust; nothing here is meant
+# to leave the lab.
+
+CERTS_DIR="${1:-certs}"
+DAYS="${CERT_DAYS:-365}"
+
+if ! command -v openssl >/dev/null 2>&1; then
+    echo "Error: openssl is not installed" >&2
+    exit 1
+fi
+
+mkdir -p "$CERTS_DIR"
+cd "$CERTS_DIR"
+
+echo "Generating CA..."
+openssl req -x509 -newkey rsa:2048 -nodes -sha256 -days "$DAYS" \
+    -subj "/CN=grpc-perf-lab CA" \
+    -keyout ca.key -out ca.crt
+
+echo "Generating server certificate..."
+cat > server.ext <<EOF
+basicConstraints = CA:FALSE
+keyUsage = digitalSignature, keyEncipherment
+extendedKeyUsage = serverAuth
+subjectAltName = DNS:localhost, DNS:grpc-server, DNS:grpc-server-tls, IP:127.0.0.1
+EOF
+
+openssl req -newkey rsa:2048 -nodes -sha256 \
+    -subj "/CN=localhost" \
+    -keyout server.key -out server.csr
+openssl x509 -req -sha256 -days "$DAYS" \
+    -in server.csr -CA ca.crt -CAkey ca.key -CAcreateserial \
+    -extfile server.ext -out server.crt
+
+# the server runs as a non-root user inside the container
+chmod 644 server.key
+rm -f server.csr server.ext ca.srl
+
+echo "Certificates written to $CERTS_DIR"
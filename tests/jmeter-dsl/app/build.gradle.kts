@@ -95,7 +95,7 @@ protobuf {
 
 tasks.named<Test>("test") {
     useJUnitPlatform {
-        excludeTags("load", "performance", "reliability")  // exclude performance-related tests
+        excludeTags("load", "performance", "reliability", "churn")  // exclude performance-related tests
     }
 }
 
@@ -125,3 +125,16 @@ tasks.register<Test>("runReliabilityTest") {
         showStandardStreams = true
     }
 }
+
+tasks.register<Test>("runChurnTest") {
+    description = "Runs TLS handshake and connection churn tests"
+    group = "verification"
+    useJUnitPlatform {
+        includeTags("churn")
+    }
+    maxHeapSize = "2g"
+    testLogging {
+        events("passed", "skipped", "failed")
+        showStandardStreams = true
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.perf.grpc.core;
+
+import org.example.perf.grpc.model.ConnectionStats;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-sampler connection setup measurements shared by all JMeter threads.
+ * Handshakes are kept out of the RPC samples, so they are accumulated here
+ * and read by the test once the plan has finished.
+ */
+public final class ConnectionMetrics {
+    private static final ConcurrentMap<String, ConnectionMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    private final Queue<Long> handshakeNanos = new ConcurrentLinkedQueue<>();
+    private final LongAdder failedHandshakes = new LongAdder();
+
+    private ConnectionMetrics() {
+    }
+
+    /**
+     * Returns the metrics for a sampler key, see {@link DslGrpcSampler#connectionMetrics()}.
+     */
+    public static ConnectionMetrics forKey(String key) {
+        return REGISTRY.computeIfAbsent(key, k -> new ConnectionMetrics());
+    }
+
+    public static void reset(String key) {
+        REGISTRY.remove(key);
+    }
+
+    void recordHandshake(long nanos) {
+        handshakeNanos.add(nanos);
+    }
+
+    void recordFailedHandshake() {
+        failedHandshakes.increment();
+    }
+
+    public ConnectionStats snapshot() {
+        long[] sorted = handshakeNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        ConnectionStats.ConnectionStatsBuilder stats = ConnectionStats.builder()
+                .handshakes(sorted.length)
+                .failedHandshakes(failedHandshakes.sum());
+
+        if (sorted.length > 0) {
+            stats.handshakeMean(Duration.ofNanos((long) Arrays.stream(sorted).average().orElse(0)))
+                    .handshakeP50(Duration.ofNanos(percentile(sorted, 0.50)))
+                    .handshakeP99(Duration.ofNanos(percentile(sorted, 0.99)))
+                    .handshakeMax(Duration.ofNanos(sorted[sorted.length - 1]));
+        }
+        return stats.build();
+    }
+
+    // nearest-rank percentile over an already sorted array
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+}
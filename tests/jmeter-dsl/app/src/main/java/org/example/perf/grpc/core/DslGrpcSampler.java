@@ -8,14 +8,24 @@ import org.apache.jmeter.testelement.TestElement;
 import org.apache.jmeter.testbeans.gui.TestBeanGUI;
 import us.abstracta.jmeter.javadsl.core.samplers.BaseSampler;
 
+import java.time.Duration;
+import java.util.UUID;
+
 public class DslGrpcSampler<REQ extends Message, RES extends Message>
         extends BaseSampler<DslGrpcSampler<REQ, RES>> {
 
     private String host = "localhost";
     private int port = 50052;
     private boolean usePlaintext = false;
+    private String trustCertPath;
+    private TlsProvider tlsProvider;
+    private String authority;
+    private int churnCalls;
+    private Duration churnInterval;
     private REQ request;
     private final GrpcServiceCall<REQ, RES> serviceCall;
+    // unique per sampler so same-named samplers never share handshake figures
+    private final String metricsKey = UUID.randomUUID().toString();
     private static final JsonFormat.Printer JSON_PRINTER = JsonFormat.printer()
             .includingDefaultValueFields()
             .omittingInsignificantWhitespace();
@@ -41,10 +51,70 @@ public class DslGrpcSampler<REQ extends Message, RES extends Message>
     }
 
     public DslGrpcSampler<REQ, RES> usePlaintext() {
+        if (trustCertPath != null || tlsProvider != null) {
+            throw new IllegalArgumentException("Plaintext cannot be combined with TLS settings");
+        }
         this.usePlaintext = true;
         return this;
     }
 
+    /**
+     * Trusts the given PEM certificate collection instead of the system trust store,
+     * e.g. the CA generated by {@code make certs}.
+     */
+    public DslGrpcSampler<REQ, RES> trustCertCollection(String trustCertPath) {
+        requireTls();
+        this.trustCertPath = trustCertPath;
+        return this;
+    }
+
+    public DslGrpcSampler<REQ, RES> tlsProvider(TlsProvider tlsProvider) {
+        requireTls();
+        this.tlsProvider = tlsProvider;
+        return this;
+    }
+
+    public DslGrpcSampler<REQ, RES> overrideAuthority(String authority) {
+        this.authority = authority;
+        return this;
+    }
+
+    /**
+     * Recreates the channel of each thread after the given number of calls.
+     */
+    public DslGrpcSampler<REQ, RES> recreateChannelEvery(int calls) {
+        if (calls <= 0) {
+            throw new IllegalArgumentException("Channel churn needs a positive call count, got " + calls);
+        }
+        this.churnCalls = calls;
+        return this;
+    }
+
+    /**
+     * Recreates the channel of each thread once it is older than the given interval.
+     */
+    public DslGrpcSampler<REQ, RES> recreateChannelEvery(Duration interval) {
+        // the sampler works in whole milliseconds
+        if (interval == null || interval.toMillis() < 1) {
+            throw new IllegalArgumentException("Channel churn needs an interval of at least 1 ms, got " + interval);
+        }
+        this.churnInterval = interval;
+        return this;
+    }
+
+    /**
+     * Handshake figures collected by this sampler's threads across all runs of it.
+     */
+    public ConnectionMetrics connectionMetrics() {
+        return ConnectionMetrics.forKey(metricsKey);
+    }
+
+    private void requireTls() {
+        if (usePlaintext) {
+            throw new IllegalArgumentException("TLS settings cannot be combined with plaintext");
+        }
+    }
+
     public DslGrpcSampler<REQ, RES> request(REQ request) {
         this.request = request;
         return this;
@@ -61,6 +131,23 @@ public class DslGrpcSampler<REQ extends Message, RES extends Message>
         arguments.addArgument("usePlaintext", String.valueOf(usePlaintext));
         arguments.addArgument("methodName", serviceCall.getMethodName());
         arguments.addArgument("serviceCallClass", serviceCall.getClass().getName());
+        arguments.addArgument("metricsKey", metricsKey);
+
+        if (trustCertPath != null) {
+            arguments.addArgument("trustCertPath", trustCertPath);
+        }
+        if (tlsProvider != null) {
+            arguments.addArgument("tlsProvider", tlsProvider.name());
+        }
+        if (authority != null) {
+            arguments.addArgument("authority", authority);
+        }
+        if (churnCalls > 0) {
+            arguments.addArgument("churnCalls", String.valueOf(churnCalls));
+        }
+        if (churnInterval != null) {
+            arguments.addArgument("churnIntervalMs", String.valueOf(churnInterval.toMillis()));
+        }
 
         try {
             if (request != null) {
@@ -2,11 +2,15 @@ package org.example.perf.grpc.core;
 
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
+import io.grpc.ConnectivityState;
 import io.grpc.Metadata;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jmeter.protocol.java.sampler.AbstractJavaSamplerClient;
 import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
@@ -14,12 +18,30 @@ import org.apache.jmeter.samplers.SampleResult;
 import org.example.perf.grpc.model.GrpcRequest;
 import org.example.perf.grpc.model.GrpcResponse;
 
+import javax.net.ssl.SSLException;
+import java.io.File;
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class GrpcSampler<REQ extends Message, RES extends Message> extends AbstractJavaSamplerClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
     private ManagedChannel channel;
+    private String host;
+    private int port;
+    private boolean usePlaintext;
+    private String authority;
+    private SslContext sslContext;
+    private ConnectionMetrics connectionMetrics;
+
+    // channel churn: 0 keeps one long-lived channel per thread
+    private long churnCalls;
+    private long churnIntervalNanos;
+    private long callsOnChannel;
+    private long channelOpenedAtNanos;
+
     private GrpcRequest request;
     private GrpcServiceCall<REQ, RES> serviceCall;
     private JsonFormat.Parser jsonParser;
@@ -39,34 +61,27 @@ public class GrpcSampler<REQ extends Message, RES extends Message> extends Abstr
                     (Class<GrpcServiceCall<REQ, RES>>) Class.forName(serviceCallClassName);
             this.serviceCall = serviceCallClass.getDeclaredConstructor().newInstance();
 
-            // setup channel
-            String host = context.getParameter("host", "localhost");
-            int port = context.getIntParameter("port", 50051);
-            boolean usePlaintext = Boolean.parseBoolean(context.getParameter("usePlaintext", "false"));
+            // setup channel, opened lazily by the first sample so its handshake is measured
+            host = context.getParameter("host", "localhost");
+            port = context.getIntParameter("port", 50051);
+            usePlaintext = Boolean.parseBoolean(context.getParameter("usePlaintext", "false"));
+            authority = context.getParameter("authority");
             Duration deadline = Duration.ofMillis(context.getLongParameter("deadlineMs", 1000));
 
-            ManagedChannelBuilder<?> channelBuilder = ManagedChannelBuilder
-                    .forAddress(host, port)
-                    .keepAliveTime(120, TimeUnit.SECONDS)
-                    .keepAliveTimeout(30, TimeUnit.SECONDS)
-                    // only send keepalive when there are active RPCs
-                    .keepAliveWithoutCalls(false)
-                    // set maximum sizes for messages and metadata
-                    .maxInboundMetadataSize(16 * 1024)
-                    .maxInboundMessageSize(16 * 1024 * 1024)
-                    // add idle timeout
-                    .idleTimeout(300, TimeUnit.SECONDS)
-                    // configure retries
-                    .enableRetry()
-                    .maxRetryAttempts(1);
-
-            if (usePlaintext) {
-                channelBuilder.usePlaintext();
+            String trustCertPath = context.getParameter("trustCertPath");
+            String tlsProvider = context.getParameter("tlsProvider");
+            if (usePlaintext && (trustCertPath != null || tlsProvider != null)) {
+                throw new IllegalArgumentException("TLS settings cannot be combined with plaintext");
+            }
+            if (!usePlaintext) {
+                sslContext = buildSslContext(trustCertPath, tlsProvider);
             }
 
-            channel = channelBuilder.build();
+            churnCalls = context.getLongParameter("churnCalls", 0);
+            churnIntervalNanos = TimeUnit.MILLISECONDS.toNanos(context.getLongParameter("churnIntervalMs", 0));
 
             String methodName = context.getParameter("methodName");
+            connectionMetrics = ConnectionMetrics.forKey(context.getParameter("metricsKey", methodName));
             String requestStr = context.getParameter("request");
 
             if (requestStr != null && !requestStr.isEmpty()) {
@@ -86,6 +101,114 @@ public class GrpcSampler<REQ extends Message, RES extends Message> extends Abstr
             throw new RuntimeException("Failed to setup gRPC sampler", e);
         }
     }
+
+    // one context per thread: the client session cache lives in it, so churned channels can resume
+    private static SslContext buildSslContext(String trustCertPath, String tlsProvider) throws SSLException {
+        SslContextBuilder builder = GrpcSslContexts.forClient();
+        if (tlsProvider != null) {
+            GrpcSslContexts.configure(builder, TlsProvider.valueOf(tlsProvider).getSslProvider());
+        }
+        if (trustCertPath != null) {
+            builder.trustManager(new File(trustCertPath));
+        }
+        return builder.build();
+    }
+
+    private ManagedChannel buildChannel() {
+        NettyChannelBuilder channelBuilder = NettyChannelBuilder
+                .forAddress(host, port)
+                .keepAliveTime(120, TimeUnit.SECONDS)
+                .keepAliveTimeout(30, TimeUnit.SECONDS)
+                // only send keepalive when there are active RPCs
+                .keepAliveWithoutCalls(false)
+                // set maximum sizes for messages and metadata
+                .maxInboundMetadataSize(16 * 1024)
+                .maxInboundMessageSize(16 * 1024 * 1024)
+                // add idle timeout
+                .idleTimeout(300, TimeUnit.SECONDS)
+                // configure retries
+                .enableRetry()
+                .maxRetryAttempts(1);
+
+        if (usePlaintext) {
+            channelBuilder.usePlaintext();
+        } else {
+            channelBuilder.sslContext(sslContext);
+        }
+        if (authority != null) {
+            channelBuilder.overrideAuthority(authority);
+        }
+
+        return channelBuilder.build();
+    }
+
+    private boolean shouldOpenChannel() {
+        if (channel == null) {
+            return true;
+        }
+        if (churnCalls > 0 && callsOnChannel >= churnCalls) {
+            return true;
+        }
+        return churnIntervalNanos > 0 && System.nanoTime() - channelOpenedAtNanos >= churnIntervalNanos;
+    }
+
+    /**
+     * Replaces the current channel and waits until it is READY,
+     * recording the setup time in {@link ConnectionMetrics}.
+     *
+     * @throws IllegalStateException if the channel cannot be built
+     */
+    private void openChannel() {
+        if (channel != null) {
+            // the blocking call has completed, so nothing is in flight
+            channel.shutdown();
+        }
+
+        callsOnChannel = 0;
+        channelOpenedAtNanos = System.nanoTime();
+
+        try {
+            channel = buildChannel();
+        } catch (RuntimeException e) {
+            // the next sample tries again with a fresh channel
+            channel = null;
+            connectionMetrics.recordFailedHandshake();
+            throw new IllegalStateException("Failed to create gRPC channel: " + e.getMessage(), e);
+        }
+        boolean ready = awaitReady(channel, CONNECT_TIMEOUT);
+        long connectNanos = System.nanoTime() - channelOpenedAtNanos;
+
+        if (ready) {
+            connectionMetrics.recordHandshake(connectNanos);
+        } else {
+            // the RPC that follows reports the actual status
+            connectionMetrics.recordFailedHandshake();
+        }
+    }
+
+    private static boolean awaitReady(ManagedChannel channel, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        ConnectivityState state = channel.getState(true);
+        try {
+            while (state != ConnectivityState.READY) {
+                if (state == ConnectivityState.TRANSIENT_FAILURE || state == ConnectivityState.SHUTDOWN) {
+                    return false;
+                }
+                CountDownLatch changed = new CountDownLatch(1);
+                channel.notifyWhenStateChanged(state, changed::countDown);
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !changed.await(remaining, TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+                state = channel.getState(true);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private REQ parseRequest(String requestStr, Message.Builder builder) throws Exception {
         try {
@@ -100,11 +223,21 @@ public class GrpcSampler<REQ extends Message, RES extends Message> extends Abstr
     @Override
     public SampleResult runTest(JavaSamplerContext context) {
         SampleResult result = new SampleResult();
+        // connection setup is kept out of the sample and reported through ConnectionMetrics
+        if (shouldOpenChannel()) {
+            try {
+                openChannel();
+            } catch (IllegalStateException e) {
+                log.error("Error opening gRPC channel", e);
+                return channelFailure(e);
+            }
+        }
         result.sampleStart();
 
         try {
             result.setSampleLabel("gRPC Request: " + request.getMethodName());
             GrpcResponse grpcResponse = executeGrpcCall();
+            callsOnChannel++;
 
             result.setSuccessful(grpcResponse.getStatus().isOk());
             result.setResponseCode(grpcResponse.getStatus().getCode().name());
@@ -144,6 +277,17 @@ public class GrpcSampler<REQ extends Message, RES extends Message> extends Abstr
         return result;
     }
 
+    private SampleResult channelFailure(IllegalStateException e) {
+        SampleResult result = new SampleResult();
+        result.setSampleLabel("gRPC Request: " + request.getMethodName());
+        result.sampleStart();
+        result.setSuccessful(false);
+        result.setResponseCode("CHANNEL_ERROR");
+        result.setResponseMessage(e.getMessage());
+        result.sampleEnd();
+        return result;
+    }
+
     private GrpcResponse executeGrpcCall() {
         long startTime = System.nanoTime();
         try {
@@ -182,4 +326,4 @@ public class GrpcSampler<REQ extends Message, RES extends Message> extends Abstr
             }
         }
     }
-}
\ No newline at end of file
+}
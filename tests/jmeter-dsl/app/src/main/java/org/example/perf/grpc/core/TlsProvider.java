@@ -0,0 +1,19 @@
+package org.example.perf.grpc.core;
+
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslProvider;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * TLS implementation used by the client channel.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TlsProvider {
+    /** BoringSSL bundled with grpc-netty-shaded. */
+    OPENSSL(SslProvider.OPENSSL),
+    /** The JDK's own JSSE implementation. */
+    JDK(SslProvider.JDK);
+
+    private final SslProvider sslProvider;
+}
@@ -0,0 +1,24 @@
+package org.example.perf.grpc.model;
+
+import lombok.Builder;
+import lombok.Value;
+import java.time.Duration;
+
+/**
+ * Connection setup figures collected separately from RPC latency.
+ * A handshake covers TCP connect, TLS negotiation (including ALPN) and the HTTP/2 preface.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ConnectionStats {
+    long handshakes;
+    long failedHandshakes;
+    @Builder.Default
+    Duration handshakeMean = Duration.ZERO;
+    @Builder.Default
+    Duration handshakeP50 = Duration.ZERO;
+    @Builder.Default
+    Duration handshakeP99 = Duration.ZERO;
+    @Builder.Default
+    Duration handshakeMax = Duration.ZERO;
+}
@@ -0,0 +1,206 @@
+package org.example.perf.grpc;
+
+import static us.abstracta.jmeter.javadsl.JmeterDsl.*;
+
+import io.grpc.examples.helloworld.HelloReply;
+import io.grpc.examples.helloworld.HelloRequest;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.example.perf.grpc.core.DslGrpcSampler;
+import org.example.perf.grpc.core.TlsProvider;
+import org.example.perf.grpc.impl.GreeterServiceCall;
+import org.example.perf.grpc.model.ConnectionStats;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import us.abstracta.jmeter.javadsl.core.TestPlanStats;
+
+/**
+ * TLS connection churn test for the gRPC service.
+ * Runs the same load over long-lived TLS channels and over channels recreated by call count
+ * and by age, reporting handshake cost and session resumption apart from RPC latency.
+ * Handshake latency is measured by the client; resumption is counted by the server,
+ * since neither TLS provider exposes a reliable client-side signal for it.
+ */
+class ConnectionChurnTest {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionChurnTest.class);
+    private static final String TEST_HOST = System.getProperty(
+            "test.host",
+            System.getenv().getOrDefault("TEST_HOST", "localhost"));
+    private static final String INFLUX_URL = System.getProperty(
+            "influx.url",
+            System.getenv().getOrDefault("INFLUX_URL",
+                    "http://localhost:8086/write?db=perf-tests"));
+    private static final String TLS_CA_CERT = System.getProperty(
+            "tls.ca.cert",
+            System.getenv().getOrDefault("TLS_CA_CERT", "../../../certs/ca.crt"));
+    private static final TlsProvider TLS_PROVIDER = TlsProvider.valueOf(System.getProperty(
+            "tls.provider",
+            System.getenv().getOrDefault("TLS_PROVIDER", "OPENSSL")));
+    private static final String TLS_METRICS_URL = System.getProperty(
+            "tls.metrics.url",
+            System.getenv().getOrDefault("TLS_METRICS_URL", "http://localhost:2113/metrics"));
+    private static final int TEST_TLS_PORT = 50053;
+
+    private static final String HANDSHAKES_METRIC = "grpc_server_tls_handshakes_total";
+
+    private static final class TestConfig {
+        static final int THREADS = 50;
+        static final Duration RAMP_UP_DURATION = Duration.ofSeconds(30);
+        static final Duration PHASE_DURATION = Duration.ofMinutes(2);
+
+        // simulates clients reconnecting during a rolling deploy
+        static final int CHURN_EVERY_CALLS = 100;
+        static final Duration CHURN_INTERVAL = Duration.ofSeconds(1);
+
+        static final double MAX_ERROR_RATE = 0.01; // 1%
+    }
+
+    private record PhaseResult(
+            long samplesCount,
+            double errorRate,
+            double p99Latency,
+            double throughput,
+            ConnectionStats connections,
+            ServerHandshakes serverHandshakes
+    ) {}
+
+    private record ServerHandshakes(
+            long full,
+            long resumed
+    ) {
+        ServerHandshakes minus(ServerHandshakes before) {
+            return new ServerHandshakes(full - before.full, resumed - before.resumed);
+        }
+
+        long total() {
+            return full + resumed;
+        }
+
+        double resumptionHitRate() {
+            return total() == 0 ? 0.0 : (double) resumed / total();
+        }
+    }
+
+    @Tag("churn")
+    @Test
+    @Timeout(value = 15, unit = TimeUnit.MINUTES)
+    void measureConnectionChurn() throws Exception {
+        log.info("Starting TLS churn test against {}:{} using {} provider",
+                TEST_HOST, TEST_TLS_PORT, TLS_PROVIDER);
+
+        PhaseResult steadyState = runPhase("gRPC TLS steady-state", sampler -> sampler);
+        PhaseResult callChurn = runPhase("gRPC TLS churn by calls",
+                sampler -> sampler.recreateChannelEvery(TestConfig.CHURN_EVERY_CALLS));
+        PhaseResult timeChurn = runPhase("gRPC TLS churn by time",
+                sampler -> sampler.recreateChannelEvery(TestConfig.CHURN_INTERVAL));
+
+        logResults("Steady state", steadyState);
+        logResults("Churn every " + TestConfig.CHURN_EVERY_CALLS + " calls", callChurn);
+        logResults("Churn every " + TestConfig.CHURN_INTERVAL.toMillis() + " ms", timeChurn);
+
+        verifyChurn(callChurn);
+        verifyChurn(timeChurn);
+    }
+
+    private void verifyChurn(PhaseResult result) {
+        // a sampler that never produced a result would otherwise pass with a NaN error rate
+        if (result.samplesCount == 0) {
+            throw new AssertionError("No samples recorded under connection churn");
+        }
+        if (result.errorRate > TestConfig.MAX_ERROR_RATE) {
+            throw new AssertionError("Error rate under connection churn exceeded threshold");
+        }
+        // every client handshake must show up on the server, otherwise resumption figures are meaningless
+        if (result.serverHandshakes.total() < result.connections.getHandshakes()) {
+            throw new AssertionError(String.format(
+                    "Server counted %d TLS handshakes but the client completed %d",
+                    result.serverHandshakes.total(), result.connections.getHandshakes()));
+        }
+    }
+
+    private PhaseResult runPhase(String label,
+                                 UnaryOperator<DslGrpcSampler<HelloRequest, HelloReply>> mode)
+            throws Exception {
+        ServerHandshakes before = readServerHandshakes();
+
+        DslGrpcSampler<HelloRequest, HelloReply> sampler =
+                new DslGrpcSampler<>(label, new GreeterServiceCall())
+                        .host(TEST_HOST)
+                        .port(TEST_TLS_PORT)
+                        .trustCertCollection(TLS_CA_CERT)
+                        .tlsProvider(TLS_PROVIDER)
+                        .request(HelloRequest.newBuilder().setName("World").build());
+
+        TestPlanStats stats = testPlan(
+                threadGroup()
+                        .rampTo(TestConfig.THREADS, TestConfig.RAMP_UP_DURATION)
+                        .holdFor(TestConfig.PHASE_DURATION)
+                        .children(mode.apply(sampler)),
+                influxDbListener(INFLUX_URL)
+                        .token("my-super-secret-auth-token")
+        ).run();
+
+        return new PhaseResult(
+                stats.overall().samplesCount(),
+                (double) stats.overall().errorsCount() / stats.overall().samplesCount(),
+                stats.overall().sampleTime().perc99().toMillis(),
+                stats.overall().samples().perSecond(),
+                sampler.connectionMetrics().snapshot(),
+                readServerHandshakes().minus(before)
+        );
+    }
+
+    private ServerHandshakes readServerHandshakes() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(TLS_METRICS_URL)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Failed to read server metrics from " + TLS_METRICS_URL
+                    + ": HTTP " + response.statusCode());
+        }
+
+        long full = 0;
+        long resumed = 0;
+        for (String line : response.body().split("\n")) {
+            if (line.startsWith(HANDSHAKES_METRIC + "{resumed=\"true\"}")) {
+                resumed = (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            } else if (line.startsWith(HANDSHAKES_METRIC + "{resumed=\"false\"}")) {
+                full = (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+            }
+        }
+        return new ServerHandshakes(full, resumed);
+    }
+
+    private void logResults(String phase, PhaseResult result) {
+        ConnectionStats connections = result.connections();
+
+        log.info("\n=== {} ({}) ===", phase, TLS_PROVIDER);
+        log.info("Throughput: {} RPS", String.format("%.2f", result.throughput()));
+        log.info("Error rate: {}%", String.format("%.2f", result.errorRate() * 100));
+        log.info("RPC P99 latency: {} ms", String.format("%.2f", result.p99Latency()));
+        log.info("Handshakes: {} ({} failed)", connections.getHandshakes(), connections.getFailedHandshakes());
+        log.info("Handshake latency: mean {} ms, P50 {} ms, P99 {} ms, max {} ms",
+                millis(connections.getHandshakeMean()),
+                millis(connections.getHandshakeP50()),
+                millis(connections.getHandshakeP99()),
+                millis(connections.getHandshakeMax()));
+        log.info("Server TLS handshakes: {} full, {} resumed",
+                result.serverHandshakes().full(), result.serverHandshakes().resumed());
+        log.info("Session resumption hit rate: {}%",
+                String.format("%.2f", result.serverHandshakes().resumptionHitRate() * 100));
+    }
+
+    // handshakes on a local network are often below a millisecond
+    private static String millis(Duration duration) {
+        return String.format("%.2f", duration.toNanos() / 1_000_000.0);
+    }
+}